@@ -1,6 +1,7 @@
 package com.yoanesber.spring.async_executor.async;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,61 +29,100 @@ public class OrderAsync {
         this.orderService = orderService;
     }
 
-    // Asynchronous method to update stock
-    @Async
-    @Retryable( // Retry processing order if RuntimeException occurs
+    // Asynchronous method to reserve stock (first stage of the order pipeline)
+    // The returned future completes exceptionally once all attempts have failed, which stops the downstream stages
+    @Async("reserveStockExecutor")
+    @Retryable( // Retry reserving stock if RuntimeException occurs
         retryFor = {RuntimeException.class},
         maxAttempts = maxAttemptsRetry,
-        backoff = @Backoff(delay = initialIntervalRetry)
+        backoff = @Backoff(delay = initialIntervalRetry),
+        recover = "recoverReserveStock"
     )
-    public void updateStock(String orderId) throws RuntimeException {
-        logger.info("Started asynchronous task (updateStock) in thread: " + Thread.currentThread().getName() + " at: " + LocalDateTime.now());
+    public CompletableFuture<Void> reserveStock(String orderId) throws RuntimeException {
+        logger.info("Started asynchronous task (reserveStock) in thread: " + Thread.currentThread().getName() + " at: " + LocalDateTime.now());
 
         try {
             orderService.updateStockByOrderID(orderId);
+            return CompletableFuture.completedFuture(null);
         } catch (Exception e) {
-            logger.error("Error occurred while updating stock: " + e.getMessage());
+            logger.error("Error occurred while reserving stock: " + e.getMessage());
             throw new RuntimeException(e);
         } finally {
-            logger.info("Finished asynchronous task (updateStock) in thread: " + Thread.currentThread().getName() + " at: " + LocalDateTime.now());
+            logger.info("Finished asynchronous task (reserveStock) in thread: " + Thread.currentThread().getName() + " at: " + LocalDateTime.now());
         }
     }
 
     // Recover method to handle the exception after maxAttemptsRetry
-    // The parameters of the recover method must match the parameters of the updateStock method
+    // The parameters of the recover method must match the parameters of the reserveStock method
     @Recover
-    public void recoverUpdateStock(RuntimeException ex, String input) {
-        logger.error("Failed to update stock after " + maxAttemptsRetry + " attempts. Order ID: " + input);
+    public CompletableFuture<Void> recoverReserveStock(RuntimeException ex, String input) {
+        logger.error("Failed to reserve stock after " + maxAttemptsRetry + " attempts. Order ID: " + input);
 
-        // Recovery logic here (e.g., logging, retrying, or notifying an admin)
+        // Fail the stage so that the order is neither confirmed nor notified
+        return CompletableFuture.failedFuture(ex);
     }
 
-    // Asynchronous method to send order confirmation email
-    @Async
-    @Retryable( // Retry processing order if RuntimeException occurs
+    // Asynchronous method to confirm order (second stage of the order pipeline)
+    @Async("confirmOrderExecutor")
+    @Retryable( // Retry confirming order if RuntimeException occurs
         retryFor = {RuntimeException.class},
         maxAttempts = maxAttemptsRetry,
-        backoff = @Backoff(delay = initialIntervalRetry)
+        backoff = @Backoff(delay = initialIntervalRetry),
+        recover = "recoverConfirmOrder"
     )
-    public void orderConfirmation(String orderId) throws RuntimeException {
-        logger.info("Started asynchronous task (orderConfirmation) in thread: " + Thread.currentThread().getName() + " at: " + LocalDateTime.now());
+    public CompletableFuture<Void> confirmOrder(String orderId) throws RuntimeException {
+        logger.info("Started asynchronous task (confirmOrder) in thread: " + Thread.currentThread().getName() + " at: " + LocalDateTime.now());
 
         try {
-            orderService.orderConfirmation(orderId);
+            orderService.confirmOrder(orderId);
+            return CompletableFuture.completedFuture(null);
         } catch (Exception e) {
             logger.error("Error occurred while confirming order: " + e.getMessage());
             throw new RuntimeException(e);
         } finally {
-            logger.info("Finished asynchronous task (orderConfirmation) in thread: " + Thread.currentThread().getName() + " at: " + LocalDateTime.now());
+            logger.info("Finished asynchronous task (confirmOrder) in thread: " + Thread.currentThread().getName() + " at: " + LocalDateTime.now());
         }
     }
 
     // Recover method to handle the exception after maxAttemptsRetry
-    // The parameters of the recover method must match the parameters of the updateStock method
+    // The parameters of the recover method must match the parameters of the confirmOrder method
     @Recover
-    public void recoverOrderConfirmation(RuntimeException ex, String input) {
+    public CompletableFuture<Void> recoverConfirmOrder(RuntimeException ex, String input) {
         logger.error("Failed to confirm order after " + maxAttemptsRetry + " attempts. Order ID: " + input);
 
+        // Fail the stage so that the customer is not notified
+        return CompletableFuture.failedFuture(ex);
+    }
+
+    // Asynchronous method to send order confirmation email (last stage of the order pipeline)
+    @Async("notifyCustomerExecutor")
+    @Retryable( // Retry sending order confirmation email if RuntimeException occurs
+        retryFor = {RuntimeException.class},
+        maxAttempts = maxAttemptsRetry,
+        backoff = @Backoff(delay = initialIntervalRetry),
+        recover = "recoverNotifyCustomer"
+    )
+    public CompletableFuture<Void> notifyCustomer(String orderId) throws RuntimeException {
+        logger.info("Started asynchronous task (notifyCustomer) in thread: " + Thread.currentThread().getName() + " at: " + LocalDateTime.now());
+
+        try {
+            orderService.orderConfirmation(orderId);
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            logger.error("Error occurred while notifying customer: " + e.getMessage());
+            throw new RuntimeException(e);
+        } finally {
+            logger.info("Finished asynchronous task (notifyCustomer) in thread: " + Thread.currentThread().getName() + " at: " + LocalDateTime.now());
+        }
+    }
+
+    // Recover method to handle the exception after maxAttemptsRetry
+    // The parameters of the recover method must match the parameters of the notifyCustomer method
+    @Recover
+    public CompletableFuture<Void> recoverNotifyCustomer(RuntimeException ex, String input) {
+        logger.error("Failed to notify customer after " + maxAttemptsRetry + " attempts. Order ID: " + input);
+
         // Recovery logic here (e.g., logging, retrying, or notifying an admin)
+        return CompletableFuture.failedFuture(ex);
     }
 }
@@ -0,0 +1,36 @@
+package com.yoanesber.spring.async_executor.async;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrderPipeline {
+
+    private final OrderAsync orderAsync;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public OrderPipeline(OrderAsync orderAsync) {
+        this.orderAsync = orderAsync;
+    }
+
+    // Submit an order to the pipeline: reserve stock -> confirm order -> notify customer
+    // Each stage is submitted to its own executor only after the previous stage has succeeded,
+    // so a failed stage stops the downstream stages
+    // Throws TaskRejectedException if the first stage is saturated
+    public CompletableFuture<Void> process(String orderId) {
+        return orderAsync.reserveStock(orderId)
+            .thenCompose(reserved -> orderAsync.confirmOrder(orderId))
+            .thenCompose(confirmed -> orderAsync.notifyCustomer(orderId))
+            .whenComplete((result, ex) -> {
+                if (ex != null) {
+                    logger.error("Order pipeline stopped for order ID: " + orderId + " with exception message: " + ex.getMessage());
+                } else {
+                    logger.info("Order pipeline completed for order ID: " + orderId);
+                }
+            });
+    }
+}
@@ -45,6 +45,9 @@ public class AsyncConfig implements AsyncConfigurer {
     @Value("${async.executor.await.termination.seconds}")
     private int awaitTerminationSeconds;
 
+    @Value("${warmup.prestart.core.threads:${warmup.enabled:false}}")
+    private boolean prestartAllCoreThreads;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     /*
@@ -83,6 +86,8 @@ public class AsyncConfig implements AsyncConfigurer {
      *    - DiscardOldestPolicy: Discards the oldest task in the queue and adds the new task.
      * 8. waitForTasksToCompleteOnShutdown: Whether to wait for scheduled tasks to complete on shutdown.
      * 9. awaitTerminationSeconds: The maximum time to wait for the executor to terminate.
+     * 10. prestartAllCoreThreads: Whether to start all core threads when the executor is initialized,
+     *     so the first tasks do not pay for thread creation (used by the fast-startup setup).
      
      * 
      * Important Considerations:
@@ -124,6 +129,7 @@ public class AsyncConfig implements AsyncConfigurer {
         executor.setRejectedExecutionHandler(getRejectedExecutionHandler(rejectedExecutionHandler));
         executor.setWaitForTasksToCompleteOnShutdown(waitForTasksToCompleteOnShutdown);
         executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        executor.setPrestartAllCoreThreads(prestartAllCoreThreads);
         executor.initialize();
         return executor;
     }
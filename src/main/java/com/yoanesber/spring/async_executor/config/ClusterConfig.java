@@ -0,0 +1,64 @@
+package com.yoanesber.spring.async_executor.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.client.RestClient;
+
+import com.yoanesber.spring.async_executor.service.ClusterService;
+
+@Configuration
+@EnableScheduling
+public class ClusterConfig {
+
+    @Value("${cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cluster.auth.token:}")
+    private String authToken;
+
+    @Value("${cluster.http.connect.timeout.ms:1000}")
+    private int connectTimeoutMs;
+
+    @Value("${cluster.http.read.timeout.ms:5000}")
+    private int readTimeoutMs;
+
+    /*
+     * Cluster mode lets several instances of this application share the order workload.
+     * Every node keeps a membership list of its peers and places them on a consistent hash ring,
+     * so every task for the same orderId is processed by the same owner node.
+     * A node that receives a request for an order it does not own forwards it over HTTP to the owner.
+     *
+     * The properties are:
+     * 1. cluster.enabled: Whether cluster mode is active. When false, every order is processed locally.
+     * 2. cluster.self.url: The base URL other nodes use to reach this node (e.g., http://localhost:8081).
+     * 3. cluster.seed.members: Comma-separated base URLs of nodes to join on startup.
+     * 4. cluster.virtual.nodes: The number of points each node occupies on the hash ring.
+     *    More points spread the keys more evenly between nodes.
+     * 5. cluster.heartbeat.interval.ms: How often peers are polled for their membership list.
+     * 6. cluster.failure.threshold: The number of missed heartbeats before a peer is removed from the ring.
+     * 7. cluster.http.connect.timeout.ms / cluster.http.read.timeout.ms: Timeouts for calls between nodes.
+     * 8. cluster.auth.token: A secret shared by all nodes. The cluster endpoints reject calls without it,
+     *    so nobody else can add or remove nodes. Required when cluster mode is enabled.
+     */
+
+    // Create a RestClient bean used for membership and forwarding calls between nodes
+    // Timeouts are kept short so that a dead node is detected quickly
+    @Bean
+    public RestClient clusterRestClient() {
+        if (enabled && (authToken == null || authToken.isBlank())) {
+            throw new IllegalStateException("cluster.auth.token must be set when cluster mode is enabled");
+        }
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMs);
+        requestFactory.setReadTimeout(readTimeoutMs);
+
+        return RestClient.builder()
+            .requestFactory(requestFactory)
+            .defaultHeader(ClusterService.TOKEN_HEADER, authToken)
+            .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.yoanesber.spring.async_executor.config;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class PipelineConfig {
+
+    @Value("${pipeline.reserve.stock.core.pool.size:4}")
+    private int reserveStockCorePoolSize;
+
+    @Value("${pipeline.reserve.stock.max.pool.size:8}")
+    private int reserveStockMaxPoolSize;
+
+    @Value("${pipeline.reserve.stock.queue.capacity:100}")
+    private int reserveStockQueueCapacity;
+
+    @Value("${pipeline.confirm.order.core.pool.size:2}")
+    private int confirmOrderCorePoolSize;
+
+    @Value("${pipeline.confirm.order.max.pool.size:4}")
+    private int confirmOrderMaxPoolSize;
+
+    @Value("${pipeline.confirm.order.queue.capacity:50}")
+    private int confirmOrderQueueCapacity;
+
+    @Value("${pipeline.notify.customer.core.pool.size:2}")
+    private int notifyCustomerCorePoolSize;
+
+    @Value("${pipeline.notify.customer.max.pool.size:4}")
+    private int notifyCustomerMaxPoolSize;
+
+    @Value("${pipeline.notify.customer.queue.capacity:50}")
+    private int notifyCustomerQueueCapacity;
+
+    @Value("${pipeline.await.termination.seconds:10}")
+    private int awaitTerminationSeconds;
+
+    @Value("${warmup.prestart.core.threads:${warmup.enabled:false}}")
+    private boolean prestartAllCoreThreads;
+
+    /*
+     * Order processing is modeled as a staged pipeline (SEDA): reserve stock -> confirm order -> notify customer.
+     * Each stage has its own ThreadPoolTaskExecutor, so its queue capacity and thread budget are tuned independently
+     * (e.g., the notify stage waits on the mail server and needs more threads than the confirm stage).
+     * A stage only starts once the previous stage has completed successfully, so a failure stops all downstream stages.
+     *
+     * Backpressure between stages:
+     * 1. The first stage uses AbortPolicy. When its queue is full, the request is rejected
+     *    and the client receives 503 Service Unavailable instead of piling up more work.
+     * 2. The downstream stages run the task on the caller's thread (like CallerRunsPolicy). When a downstream queue is full,
+     *    the upstream stage thread runs the task itself, which slows the upstream stage down to the pace of the downstream stage.
+     *    Once a downstream stage is shut down, its tasks are rejected instead of silently dropped,
+     *    so the order's future completes exceptionally and the failure is logged.
+     *
+     * Shutdown order:
+     * Each stage depends on the next one, so Spring shuts the stages down upstream-first (reserve -> confirm -> notify).
+     * Every stage finishes its queued tasks while the downstream stages still accept the work handed to them.
+     */
+
+    // Create the executor for the reserve stock stage
+    @Bean
+    @DependsOn("confirmOrderExecutor")
+    public ThreadPoolTaskExecutor reserveStockExecutor() {
+        return createStageExecutor("reserve-stock-", reserveStockCorePoolSize, reserveStockMaxPoolSize,
+            reserveStockQueueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Create the executor for the confirm order stage
+    @Bean
+    @DependsOn("notifyCustomerExecutor")
+    public ThreadPoolTaskExecutor confirmOrderExecutor() {
+        return createStageExecutor("confirm-order-", confirmOrderCorePoolSize, confirmOrderMaxPoolSize,
+            confirmOrderQueueCapacity, callerRunsUnlessShutDown());
+    }
+
+    // Create the executor for the notify customer stage
+    @Bean
+    public ThreadPoolTaskExecutor notifyCustomerExecutor() {
+        return createStageExecutor("notify-customer-", notifyCustomerCorePoolSize, notifyCustomerMaxPoolSize,
+            notifyCustomerQueueCapacity, callerRunsUnlessShutDown());
+    }
+
+    // Run the rejected task on the caller's thread while the stage is running
+    // CallerRunsPolicy drops the task once the executor is shut down, which would leave the order's future incomplete
+    private RejectedExecutionHandler callerRunsUnlessShutDown() {
+        return (task, executor) -> {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Pipeline stage is shut down, task " + task + " rejected");
+            }
+
+            task.run();
+        };
+    }
+
+    private ThreadPoolTaskExecutor createStageExecutor(String threadNamePrefix, int corePoolSize, int maxPoolSize,
+            int queueCapacity, RejectedExecutionHandler rejectedExecutionHandler) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(rejectedExecutionHandler);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitTerminationSeconds);
+        executor.setPrestartAllCoreThreads(prestartAllCoreThreads);
+        return executor;
+    }
+}
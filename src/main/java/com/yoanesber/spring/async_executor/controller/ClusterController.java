@@ -0,0 +1,102 @@
+package com.yoanesber.spring.async_executor.controller;
+
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.yoanesber.spring.async_executor.dto.ClusterNodeDTO;
+import com.yoanesber.spring.async_executor.service.ClusterService;
+
+// The controller is always registered and checks cluster mode on every call, because an AOT build fixes
+// bean conditions at build time and a node started in cluster mode must still answer its peers
+// Outside cluster mode, the membership endpoints answer 404 as if they did not exist
+// Only nodes configured with the same cluster.auth.token may read or change the membership
+@RestController
+@RequestMapping("/api/v1/cluster")
+public class ClusterController {
+
+    private final ClusterService clusterService;
+
+    public ClusterController(ClusterService clusterService) {
+        this.clusterService = clusterService;
+    }
+
+    @GetMapping("/members")
+    public ResponseEntity<Set<String>> getMembers(@RequestHeader(value = ClusterService.TOKEN_HEADER, required = false) String token) {
+        if (!clusterService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!clusterService.isTrustedToken(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        // A leaving node does not answer heartbeats, so its peers do not add it back while it shuts down
+        if (clusterService.isLeaving()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        return ResponseEntity.ok().body(clusterService.getMembers());
+    }
+
+    @PostMapping("/join")
+    public ResponseEntity<Object> join(@RequestBody ClusterNodeDTO request,
+            @RequestHeader(value = ClusterService.TOKEN_HEADER, required = false) String token) {
+        if (!clusterService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!clusterService.isTrustedToken(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid cluster token");
+        }
+
+        // Validate request
+        if (request == null || request.getNodeUrl() == null || request.getNodeUrl().isEmpty()) {
+            return ResponseEntity.badRequest().body("Node URL is required");
+        }
+
+        return ResponseEntity.ok().body(clusterService.join(request.getNodeUrl()));
+    }
+
+    @PostMapping("/leave")
+    public ResponseEntity<Object> leave(@RequestBody ClusterNodeDTO request,
+            @RequestHeader(value = ClusterService.TOKEN_HEADER, required = false) String token) {
+        if (!clusterService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!clusterService.isTrustedToken(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid cluster token");
+        }
+
+        // Validate request
+        if (request == null || request.getNodeUrl() == null || request.getNodeUrl().isEmpty()) {
+            return ResponseEntity.badRequest().body("Node URL is required");
+        }
+
+        clusterService.leave(request.getNodeUrl());
+        return ResponseEntity.ok().body("Node removed from the cluster");
+    }
+
+    @GetMapping("/owner/{orderId}")
+    public ResponseEntity<Object> getOwner(@PathVariable String orderId,
+            @RequestHeader(value = ClusterService.TOKEN_HEADER, required = false) String token) {
+        if (!clusterService.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!clusterService.isTrustedToken(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid cluster token");
+        }
+
+        return ResponseEntity.ok().body(clusterService.getOwner(orderId));
+    }
+}
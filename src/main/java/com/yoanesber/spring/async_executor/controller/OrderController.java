@@ -1,41 +1,79 @@
 package com.yoanesber.spring.async_executor.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 
-import com.yoanesber.spring.async_executor.async.OrderAsync;
+import com.yoanesber.spring.async_executor.async.OrderPipeline;
+import com.yoanesber.spring.async_executor.service.ClusterService;
 
 @RestController
 @RequestMapping("/api/v1/order")
+@Profile("!reactive") // Served by the reactive controller when the reactive profile is active
 public class OrderController {
 
-    private final OrderAsync orderAsync;
+    private final OrderPipeline orderPipeline;
 
-    public OrderController(OrderAsync orderAsync) {
-        this.orderAsync = orderAsync;
+    private final ClusterService clusterService;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public OrderController(OrderPipeline orderPipeline, ClusterService clusterService) {
+        this.orderPipeline = orderPipeline;
+        this.clusterService = clusterService;
     }
 
     @PostMapping("/process/{orderId}")
-    public ResponseEntity<Object> processOrders(@PathVariable String orderId) {
+    public ResponseEntity<Object> processOrders(@PathVariable String orderId,
+            @RequestHeader(value = ClusterService.FORWARDED_HEADER, required = false) String forwardedBy,
+            @RequestHeader(value = ClusterService.TOKEN_HEADER, required = false) String token) {
         // Validate request
         if (orderId == null || orderId.isEmpty()) {
             return ResponseEntity.badRequest().body("Order ID is required");
         }
 
-        try {
-            // Update stock
-            orderAsync.updateStock(orderId);
+        // In cluster mode, forward the order to the node that owns it
+        // A request forwarded by another node is always processed here, even if this node's ring differs from the sender's
+        // The forwarded header is only trusted with the cluster token, so clients cannot bypass the owner routing
+        boolean forwarded = forwardedBy != null && clusterService.isTrustedToken(token);
+        if (!forwarded && !clusterService.isLocallyOwned(orderId)) {
+            String ownerUrl = clusterService.getOwner(orderId);
+            try {
+                return ResponseEntity.ok().body(clusterService.forwardOrder(ownerUrl, orderId));
+            } catch (RestClientResponseException e) {
+                // The owner answered with an error, pass it back to the client
+                return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsString());
+            } catch (ResourceAccessException e) {
+                // The order never reached the owner, so it is safe to process it here
+                logger.warn("Processing order ID: " + orderId + " locally, owner node is unreachable: " + ownerUrl);
+            } catch (RestClientException e) {
+                // The owner may already be processing the order, processing it here as well would run it twice
+                return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body("Failed to process order: " + e.getMessage());
+            }
+        }
 
-            // Send order confirmation email
-            orderAsync.orderConfirmation(orderId);
+        try {
+            // Reserve stock, then confirm order, then send order confirmation email
+            orderPipeline.process(orderId);
 
             // Return response
             return ResponseEntity.ok().body("Order processed successfully");
+        } catch (TaskRejectedException e) {
+            // The first pipeline stage is full, ask the client to retry later
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Order pipeline is busy, please retry later");
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Failed to process order: " + e.getMessage());
         }
-    }   
+    }
 }
@@ -1,5 +1,6 @@
 package com.yoanesber.spring.async_executor.controller;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -11,6 +12,7 @@ import com.yoanesber.spring.async_executor.async.EmailAsync;
 
 @RestController
 @RequestMapping("/api/v1/password")
+@Profile("!reactive") // Served by the reactive controller when the reactive profile is active
 public class PasswordController {
 
     private final EmailAsync emailAsync;
@@ -0,0 +1,16 @@
+package com.yoanesber.spring.async_executor.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Data
+@Getter
+@Setter
+@NoArgsConstructor // Required for Jackson deserialization when receiving JSON requests.
+@AllArgsConstructor // Helps create DTO objects easily.
+public class ClusterNodeDTO {
+    private String nodeUrl; // Base URL of the node (e.g., "http://localhost:8081")
+}
@@ -3,9 +3,11 @@ package com.yoanesber.spring.async_executor.entity;
 import java.math.BigDecimal;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
@@ -13,7 +15,9 @@ import lombok.Setter;
 @Getter
 @Setter
 public class OrderDetail {
-    private Order order; // Many-to-One relation to Order
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Order order; // Many-to-One relation to Order (excluded to avoid recursive toString/equals/hashCode)
 
     private String productId;  // Unique Product ID (e.g., "PRD12345")
 
@@ -0,0 +1,192 @@
+package com.yoanesber.spring.async_executor.mapper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.yoanesber.spring.async_executor.entity.Order;
+import com.yoanesber.spring.async_executor.entity.OrderDetail;
+import com.yoanesber.spring.async_executor.model.CompactOrder;
+import com.yoanesber.spring.async_executor.model.CompactOrderItem;
+import com.yoanesber.spring.async_executor.model.CurrencyCode;
+import com.yoanesber.spring.async_executor.model.OrderStatus;
+import com.yoanesber.spring.async_executor.model.PaymentMethod;
+import com.yoanesber.spring.async_executor.model.PaymentStatus;
+import com.yoanesber.spring.async_executor.model.ShippingMethod;
+
+/*
+ * Converts between the Order/OrderDetail entities used at the API edge and the CompactOrder model used internally.
+ * 1. Free-string statuses are parsed into enums; an unknown value throws IllegalArgumentException.
+ * 2. Amounts are converted to the currency's minor unit, rounding half-even beyond its fraction digits.
+ *    A missing amount is stored as 0.
+ *    An item's subtotal and total price are derived from its price, quantity and discount;
+ *    a given value that does not match them throws IllegalArgumentException instead of being replaced.
+ * 3. LocalDateTime values are interpreted in the system time zone, where LocalDateTime.now() creates them,
+ *    and stored as epoch milliseconds (sub-millisecond precision is dropped).
+ *    A missing timestamp is stored as NO_TIMESTAMP.
+ */
+public final class OrderMapper {
+
+    // Marker for a missing timestamp
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private OrderMapper() {
+    }
+
+    // Convert an Order entity to its compact representation
+    public static CompactOrder toCompact(Order order) {
+        if (order == null) {
+            return null;
+        }
+
+        CurrencyCode currency = parseEnum(CurrencyCode.class, order.getCurrency());
+
+        List<OrderDetail> orderDetails = order.getOrderDetails() == null ? List.of() : order.getOrderDetails();
+        CompactOrderItem[] items = new CompactOrderItem[orderDetails.size()];
+        for (int i = 0; i < items.length; i++) {
+            OrderDetail orderDetail = orderDetails.get(i);
+            items[i] = new CompactOrderItem(
+                orderDetail.getProductId(),
+                orderDetail.getProductName(),
+                toMinor(orderDetail.getProductPrice(), currency),
+                orderDetail.getQuantity() == null ? 0 : orderDetail.getQuantity(),
+                toMinor(orderDetail.getDiscountAmount(), currency),
+                orderDetail.getProductImageUrl(),
+                orderDetail.getNotes());
+
+            checkDerived("subtotal", orderDetail.getSubtotal(), items[i].getSubtotalMinor(), items[i], currency);
+            checkDerived("total price", orderDetail.getTotalPrice(), items[i].getTotalPriceMinor(), items[i], currency);
+        }
+
+        return new CompactOrder(
+            order.getOrderId(),
+            toEpochMillis(order.getOrderDate()),
+            parseEnum(OrderStatus.class, order.getOrderStatus()),
+            toMinor(order.getOrderTotal(), currency),
+            currency,
+            order.getCustomerId(),
+            order.getCustomerName(),
+            order.getCustomerEmail(),
+            order.getCustomerPhone(),
+            parseEnum(PaymentMethod.class, order.getPaymentMethod()),
+            parseEnum(PaymentStatus.class, order.getPaymentStatus()),
+            order.getShippingAddress(),
+            parseEnum(ShippingMethod.class, order.getShippingMethod()),
+            toEpochMillis(order.getDeliveryDate()),
+            toMinor(order.getTaxAmount(), currency),
+            order.getDiscountCode(),
+            toMinor(order.getDiscountAmount(), currency),
+            toEpochMillis(order.getCreatedAt()),
+            toEpochMillis(order.getUpdatedAt()),
+            order.getProcessedBy(),
+            items);
+    }
+
+    // Convert a compact order back to an Order entity (e.g., to return it from the API)
+    public static Order toEntity(CompactOrder compactOrder) {
+        if (compactOrder == null) {
+            return null;
+        }
+
+        CurrencyCode currency = compactOrder.getCurrency();
+
+        Order order = new Order();
+        order.setOrderId(compactOrder.getOrderId());
+        order.setOrderDate(toLocalDateTime(compactOrder.getOrderDateEpochMillis()));
+        order.setOrderStatus(enumName(compactOrder.getOrderStatus()));
+        order.setOrderTotal(fromMinor(compactOrder.getOrderTotalMinor(), currency));
+        order.setCurrency(enumName(currency));
+        order.setCustomerId(compactOrder.getCustomerId());
+        order.setCustomerName(compactOrder.getCustomerName());
+        order.setCustomerEmail(compactOrder.getCustomerEmail());
+        order.setCustomerPhone(compactOrder.getCustomerPhone());
+        order.setPaymentMethod(enumName(compactOrder.getPaymentMethod()));
+        order.setPaymentStatus(enumName(compactOrder.getPaymentStatus()));
+        order.setShippingAddress(compactOrder.getShippingAddress());
+        order.setShippingMethod(enumName(compactOrder.getShippingMethod()));
+        order.setDeliveryDate(toLocalDateTime(compactOrder.getDeliveryDateEpochMillis()));
+        order.setTaxAmount(fromMinor(compactOrder.getTaxAmountMinor(), currency));
+        order.setDiscountCode(compactOrder.getDiscountCode());
+        order.setDiscountAmount(fromMinor(compactOrder.getDiscountAmountMinor(), currency));
+        order.setCreatedAt(toLocalDateTime(compactOrder.getCreatedAtEpochMillis()));
+        order.setUpdatedAt(toLocalDateTime(compactOrder.getUpdatedAtEpochMillis()));
+        order.setProcessedBy(compactOrder.getProcessedBy());
+
+        CompactOrderItem[] items = compactOrder.getItems();
+        List<OrderDetail> orderDetails = new ArrayList<>(items.length);
+        for (CompactOrderItem item : items) {
+            OrderDetail orderDetail = new OrderDetail();
+            orderDetail.setOrder(order);
+            orderDetail.setProductId(item.getProductId());
+            orderDetail.setProductName(item.getProductName());
+            orderDetail.setProductPrice(fromMinor(item.getProductPriceMinor(), currency));
+            orderDetail.setQuantity(item.getQuantity());
+            orderDetail.setSubtotal(fromMinor(item.getSubtotalMinor(), currency));
+            orderDetail.setDiscountAmount(fromMinor(item.getDiscountAmountMinor(), currency));
+            orderDetail.setTotalPrice(fromMinor(item.getTotalPriceMinor(), currency));
+            orderDetail.setProductImageUrl(item.getProductImageUrl());
+            orderDetail.setNotes(item.getNotes());
+            orderDetails.add(orderDetail);
+        }
+        order.setOrderDetails(orderDetails);
+
+        return order;
+    }
+
+    // Convert an amount to the currency's minor unit (e.g., 199.99 USD -> 19999)
+    public static long toMinor(BigDecimal amount, CurrencyCode currency) {
+        if (amount == null) {
+            return 0L;
+        }
+
+        return amount.setScale(fractionDigits(currency), RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    // Convert an amount in the currency's minor unit back to a BigDecimal (e.g., 19999 USD -> 199.99)
+    public static BigDecimal fromMinor(long amountMinor, CurrencyCode currency) {
+        return BigDecimal.valueOf(amountMinor, fractionDigits(currency));
+    }
+
+    // Convert a LocalDateTime (interpreted in the system time zone) to epoch milliseconds
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? NO_TIMESTAMP : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Convert epoch milliseconds back to a LocalDateTime (in the system time zone)
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return epochMillis == NO_TIMESTAMP ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    // The compact item does not store derived amounts, so a given value must match the derived one
+    private static void checkDerived(String name, BigDecimal amount, long derivedMinor, CompactOrderItem item, CurrencyCode currency) {
+        if (amount != null && toMinor(amount, currency) != derivedMinor) {
+            throw new IllegalArgumentException("Invalid " + name + " for product ID: " + item.getProductId()
+                + ": " + amount + ", expected: " + fromMinor(derivedMinor, currency));
+        }
+    }
+
+    // Amounts without a currency are stored with 2 fraction digits
+    private static int fractionDigits(CurrencyCode currency) {
+        return currency == null ? 2 : currency.getFractionDigits();
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> enumClass, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return Enum.valueOf(enumClass, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + enumClass.getSimpleName() + ": " + value);
+        }
+    }
+
+    private static String enumName(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+}
@@ -0,0 +1,65 @@
+package com.yoanesber.spring.async_executor.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Value;
+
+/*
+ * Memory-compact internal representation of an Order, used while the order is held by in-flight tasks.
+ * Compared to the Order entity:
+ * 1. Status, currency, payment and shipping fields are enums instead of free strings.
+ * 2. Amounts are fixed-point longs in the currency's minor unit (e.g., 19999 = 199.99 IDR) instead of BigDecimal.
+ * 3. Timestamps are epoch milliseconds instead of LocalDateTime.
+ * 4. Items are held in an array and have no back-reference to the order, so equals/hashCode/toString are not recursive.
+ *    The getter returns a copy of the array, so the order stays immutable.
+ * Conversion from and to the Order entity is done at the API edge by OrderMapper.
+ */
+@Value
+public class CompactOrder {
+    String orderId;
+
+    long orderDateEpochMillis;
+
+    OrderStatus orderStatus;
+
+    long orderTotalMinor;
+
+    CurrencyCode currency;
+
+    String customerId;
+
+    String customerName;
+
+    String customerEmail;
+
+    String customerPhone;
+
+    PaymentMethod paymentMethod;
+
+    PaymentStatus paymentStatus;
+
+    String shippingAddress;
+
+    ShippingMethod shippingMethod;
+
+    long deliveryDateEpochMillis;
+
+    long taxAmountMinor;
+
+    String discountCode;
+
+    long discountAmountMinor;
+
+    long createdAtEpochMillis;
+
+    long updatedAtEpochMillis;
+
+    String processedBy;
+
+    @Getter(AccessLevel.NONE)
+    CompactOrderItem[] items;
+
+    public CompactOrderItem[] getItems() {
+        return items.clone();
+    }
+}
@@ -0,0 +1,33 @@
+package com.yoanesber.spring.async_executor.model;
+
+import lombok.Value;
+
+// Memory-compact internal representation of an OrderDetail (see CompactOrder)
+// Subtotal and total price are derived from the unit price, quantity and discount instead of being stored
+// (OrderMapper rejects an OrderDetail whose given values do not match them)
+@Value
+public class CompactOrderItem {
+    String productId;
+
+    String productName;
+
+    long productPriceMinor;
+
+    int quantity;
+
+    long discountAmountMinor;
+
+    String productImageUrl;
+
+    String notes;
+
+    // `quantity * productPrice`
+    public long getSubtotalMinor() {
+        return Math.multiplyExact(productPriceMinor, quantity);
+    }
+
+    // Final price after discount
+    public long getTotalPriceMinor() {
+        return getSubtotalMinor() - discountAmountMinor;
+    }
+}
@@ -0,0 +1,20 @@
+package com.yoanesber.spring.async_executor.model;
+
+public enum CurrencyCode {
+    IDR(2),
+    USD(2),
+    EUR(2),
+    SGD(2),
+    JPY(0);
+
+    // Number of minor-unit digits (ISO 4217), e.g., 2 for USD (1 USD = 100 cents)
+    private final int fractionDigits;
+
+    CurrencyCode(int fractionDigits) {
+        this.fractionDigits = fractionDigits;
+    }
+
+    public int getFractionDigits() {
+        return fractionDigits;
+    }
+}
@@ -0,0 +1,9 @@
+package com.yoanesber.spring.async_executor.model;
+
+public enum OrderStatus {
+    PENDING,
+    CONFIRMED,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED
+}
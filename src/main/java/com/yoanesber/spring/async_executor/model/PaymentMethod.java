@@ -0,0 +1,10 @@
+package com.yoanesber.spring.async_executor.model;
+
+public enum PaymentMethod {
+    CREDIT_CARD,
+    DEBIT_CARD,
+    BANK_TRANSFER,
+    PAYPAL,
+    E_WALLET,
+    CASH_ON_DELIVERY
+}
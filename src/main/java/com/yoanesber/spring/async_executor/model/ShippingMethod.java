@@ -0,0 +1,8 @@
+package com.yoanesber.spring.async_executor.model;
+
+public enum ShippingMethod {
+    STANDARD,
+    EXPRESS,
+    SAME_DAY,
+    PICKUP
+}
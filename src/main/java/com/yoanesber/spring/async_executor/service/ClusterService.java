@@ -0,0 +1,43 @@
+package com.yoanesber.spring.async_executor.service;
+
+import java.util.Set;
+
+public interface ClusterService {
+    // Header set on forwarded requests so the receiving node processes them locally
+    String FORWARDED_HEADER = "X-Cluster-Forwarded-By";
+
+    // Header carrying the shared cluster.auth.token on every call between nodes
+    String TOKEN_HEADER = "X-Cluster-Token";
+
+    // Whether cluster mode is enabled
+    boolean isEnabled();
+
+    // Base URL of this node
+    String getSelfUrl();
+
+    // Whether the token is this node's cluster.auth.token, i.e., the call comes from another node of the cluster
+    boolean isTrustedToken(String token);
+
+    // Whether this node has announced that it leaves the cluster
+    boolean isLeaving();
+
+    // Get the current membership list
+    Set<String> getMembers();
+
+    // Add a node to the membership list and return the updated list
+    Set<String> join(String nodeUrl);
+
+    // Remove a node from the membership list
+    void leave(String nodeUrl);
+
+    // Get the node that owns the given key
+    String getOwner(String key);
+
+    // Whether the given key is owned by this node
+    boolean isLocallyOwned(String key);
+
+    // Forward order processing to the owner node
+    // Throws ResourceAccessException when the owner could not be connected to, so the order was not delivered
+    // Throws another RestClientException when the order was sent but no answer was received, the owner may be processing it
+    String forwardOrder(String ownerUrl, String orderId);
+}
@@ -7,6 +7,9 @@ public interface OrderService {
     // Update stock by order ID
     void updateStockByOrderID(String orderId);
 
+    // Confirm order after its stock has been reserved
+    void confirmOrder(String orderId);
+
     // Send order confirmation email
     void orderConfirmation(String orderId);
 }
@@ -0,0 +1,394 @@
+package com.yoanesber.spring.async_executor.service.impl;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import com.yoanesber.spring.async_executor.dto.ClusterNodeDTO;
+import com.yoanesber.spring.async_executor.service.ClusterService;
+
+@Service
+public class ClusterServiceImpl implements ClusterService {
+
+    private final RestClient clusterRestClient;
+
+    private final boolean enabled;
+
+    private final String selfUrl;
+
+    private final Set<String> seedMembers;
+
+    private final int virtualNodes;
+
+    private final int failureThreshold;
+
+    private final byte[] authToken;
+
+    // Current membership list, including this node
+    private final Set<String> members = new ConcurrentSkipListSet<>();
+
+    // Number of consecutive missed heartbeats per peer
+    private final Map<String, Integer> failureCounts = new ConcurrentHashMap<>();
+
+    // Nodes that failed or left, probed on every heartbeat and added back once they answer
+    private final Set<String> removedNodes = new ConcurrentSkipListSet<>();
+
+    // Consistent hash ring (hash -> node URL), replaced as a whole whenever the membership changes
+    private volatile TreeMap<Long, String> ring = new TreeMap<>();
+
+    // Set once this node has announced that it leaves, so it never joins again while shutting down
+    private volatile boolean leaving;
+
+    private static final ParameterizedTypeReference<Set<String>> MEMBERS_TYPE = new ParameterizedTypeReference<>() {};
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public ClusterServiceImpl(RestClient clusterRestClient,
+            @Value("${cluster.enabled:false}") boolean enabled,
+            @Value("${cluster.self.url:http://localhost:${server.port:8080}}") String selfUrl,
+            @Value("${cluster.seed.members:}") String seedMembers,
+            @Value("${cluster.virtual.nodes:100}") int virtualNodes,
+            @Value("${cluster.failure.threshold:3}") int failureThreshold,
+            @Value("${cluster.auth.token:}") String authToken) {
+        this.clusterRestClient = clusterRestClient;
+        this.enabled = enabled;
+        this.selfUrl = normalize(selfUrl);
+        this.seedMembers = new ConcurrentSkipListSet<>();
+        this.virtualNodes = virtualNodes;
+        this.failureThreshold = failureThreshold;
+        this.authToken = authToken.getBytes(StandardCharsets.UTF_8);
+
+        Arrays.stream(seedMembers.split(","))
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .map(ClusterServiceImpl::normalize)
+            .filter(url -> !url.equals(this.selfUrl))
+            .forEach(this.seedMembers::add);
+
+        // A node always owns the whole ring until it learns about its peers
+        this.members.add(this.selfUrl);
+        rebuildRing();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String getSelfUrl() {
+        return selfUrl;
+    }
+
+    // The comparison takes the same time wherever the tokens differ, so the token cannot be guessed byte by byte
+    @Override
+    public boolean isTrustedToken(String token) {
+        return token != null && authToken.length > 0
+            && MessageDigest.isEqual(authToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean isLeaving() {
+        return leaving;
+    }
+
+    @Override
+    public Set<String> getMembers() {
+        return Set.copyOf(members);
+    }
+
+    @Override
+    public Set<String> join(String nodeUrl) {
+        String url = normalize(nodeUrl);
+        failureCounts.remove(url);
+        removedNodes.remove(url);
+
+        if (members.add(url)) {
+            logger.info("Node joined the cluster: " + url);
+            rebuildRing();
+        }
+
+        return getMembers();
+    }
+
+    @Override
+    public void leave(String nodeUrl) {
+        String url = normalize(nodeUrl);
+
+        // This node never removes itself from its own ring
+        if (url.equals(selfUrl)) {
+            return;
+        }
+
+        // Keep the node out of the ring until it answers a heartbeat probe or joins again,
+        // so stale membership lists from other peers do not bring it back
+        failureCounts.remove(url);
+        removedNodes.add(url);
+
+        if (members.remove(url)) {
+            logger.info("Node left the cluster: " + url);
+            rebuildRing();
+        }
+    }
+
+    @Override
+    public String getOwner(String key) {
+        if (!enabled) {
+            return selfUrl;
+        }
+
+        // Walk clockwise from the key's position to the first node on the ring
+        TreeMap<Long, String> currentRing = this.ring;
+        SortedMap<Long, String> tail = currentRing.tailMap(hash(key));
+        return tail.isEmpty() ? currentRing.firstEntry().getValue() : tail.get(tail.firstKey());
+    }
+
+    @Override
+    public boolean isLocallyOwned(String key) {
+        return getOwner(key).equals(selfUrl);
+    }
+
+    @Override
+    public String forwardOrder(String ownerUrl, String orderId) {
+        logger.info("Forwarding order ID: " + orderId + " to owner node: " + ownerUrl);
+
+        try {
+            return clusterRestClient.post()
+                .uri(ownerUrl + "/api/v1/order/process/{orderId}", orderId)
+                .header(FORWARDED_HEADER, selfUrl)
+                .retrieve()
+                .body(String.class);
+        } catch (ResourceAccessException e) {
+            logger.error("Failed to forward order ID: " + orderId + " to owner node: " + ownerUrl + ", error: " + e.getMessage());
+
+            if (isConnectFailure(e)) {
+                // The owner is not listening, drop it from the ring so its keys move to the next node
+                // It is added back once it answers a heartbeat probe
+                leave(ownerUrl);
+                throw e;
+            }
+
+            // The order reached the owner but the answer did not arrive in time (e.g., read timeout)
+            // The owner may still process it, so it must not be processed again here, and a slow owner is not evicted
+            throw new RestClientException("Owner node did not answer in time: " + ownerUrl, e);
+        }
+    }
+
+    // Whether the call failed before the request reached the node
+    private static boolean isConnectFailure(ResourceAccessException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof ConnectException || cause instanceof NoRouteToHostException || cause instanceof UnknownHostException) {
+            return true;
+        }
+
+        // Connect and read timeouts share the same exception type
+        return cause instanceof SocketTimeoutException && cause.getMessage() != null
+            && cause.getMessage().startsWith("Connect timed out");
+    }
+
+    // Join the cluster through the seed members once the web server is ready to receive calls
+    @EventListener(ApplicationReadyEvent.class)
+    public void joinCluster() {
+        if (!enabled || leaving) {
+            return;
+        }
+
+        logger.info("Starting cluster node: " + selfUrl + " with seed members: " + seedMembers);
+
+        for (String seed : seedMembers) {
+            try {
+                Set<String> peers = clusterRestClient.post()
+                    .uri(seed + "/api/v1/cluster/join")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new ClusterNodeDTO(selfUrl))
+                    .retrieve()
+                    .body(MEMBERS_TYPE);
+
+                merge(peers);
+            } catch (RestClientException e) {
+                logger.warn("Seed member is not reachable: " + seed + ", error: " + e.getMessage());
+            }
+        }
+    }
+
+    // Poll every peer for its membership list
+    // New nodes are learned from the peers' lists, peers that miss too many heartbeats are removed
+    // Removed nodes and seeds that are not members are probed as well, so the cluster heals after a partition
+    @Scheduled(fixedDelayString = "${cluster.heartbeat.interval.ms:5000}")
+    public void heartbeat() {
+        if (!enabled || leaving) {
+            return;
+        }
+
+        // Nodes removed during this heartbeat are probed from the next one on
+        Set<String> candidates = new HashSet<>(removedNodes);
+        candidates.addAll(seedMembers);
+        candidates.removeAll(members);
+
+        for (String peer : members) {
+            // Stop right away if this node started leaving during the heartbeat
+            if (leaving) {
+                return;
+            }
+
+            if (peer.equals(selfUrl)) {
+                continue;
+            }
+
+            try {
+                poll(peer);
+                failureCounts.remove(peer);
+            } catch (RestClientException e) {
+                int failures = failureCounts.merge(peer, 1, Integer::sum);
+                logger.warn("Missed heartbeat " + failures + "/" + failureThreshold + " from node: " + peer);
+
+                if (failures >= failureThreshold) {
+                    leave(peer);
+                }
+            }
+        }
+
+        for (String candidate : candidates) {
+            if (leaving) {
+                return;
+            }
+
+            try {
+                poll(candidate);
+                logger.info("Node is reachable again: " + candidate);
+                join(candidate);
+            } catch (RestClientException e) {
+                // Still unreachable, it is probed again on the next heartbeat
+            }
+        }
+    }
+
+    // Fetch a node's membership list and merge it into this node's list
+    // A node that restarted or was partitioned away without knowing this node learns about it again
+    private void poll(String node) {
+        Set<String> peers = clusterRestClient.get()
+            .uri(node + "/api/v1/cluster/members")
+            .retrieve()
+            .body(MEMBERS_TYPE);
+
+        if (peers != null && !peers.contains(selfUrl)) {
+            clusterRestClient.post()
+                .uri(node + "/api/v1/cluster/join")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ClusterNodeDTO(selfUrl))
+                .retrieve()
+                .toBodilessEntity();
+        }
+
+        merge(peers);
+    }
+
+    // Tell the peers that this node is leaving so they rebalance right away instead of waiting for heartbeats
+    // This runs at the start of the shutdown, before the executors are drained, so no new orders are routed here
+    @EventListener(ContextClosedEvent.class)
+    public void leaveCluster() {
+        if (!enabled) {
+            return;
+        }
+
+        // Stop the heartbeat from announcing this node again with /join
+        leaving = true;
+
+        for (String peer : members) {
+            if (peer.equals(selfUrl)) {
+                continue;
+            }
+
+            try {
+                clusterRestClient.post()
+                    .uri(peer + "/api/v1/cluster/leave")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(new ClusterNodeDTO(selfUrl))
+                    .retrieve()
+                    .toBodilessEntity();
+            } catch (RestClientException e) {
+                logger.warn("Failed to notify node: " + peer + " about leaving, error: " + e.getMessage());
+            }
+        }
+    }
+
+    // Add the nodes known by a peer to the membership list
+    // Nodes that failed or left are skipped until they answer a probe or join again
+    private void merge(Set<String> peers) {
+        if (peers == null) {
+            return;
+        }
+
+        boolean changed = false;
+        for (String peer : peers) {
+            String url = normalize(peer);
+            if (!removedNodes.contains(url) && members.add(url)) {
+                logger.info("Discovered cluster node: " + url);
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            rebuildRing();
+        }
+    }
+
+    // Rebuild the hash ring from the membership list
+    // Only the keys between a changed node and its predecessor move to another owner
+    private synchronized void rebuildRing() {
+        TreeMap<Long, String> newRing = new TreeMap<>();
+        for (String member : members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                newRing.put(hash(member + "#" + i), member);
+            }
+        }
+
+        this.ring = newRing;
+        logger.info("Rebalanced cluster ring with " + members.size() + " node(s): " + members);
+    }
+
+    // Hash a key to a position on the ring using the first 8 bytes of its MD5 digest
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (digest[i] & 0xFF);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 algorithm is not available", e);
+        }
+    }
+
+    // Remove the trailing slash so the same node is not registered twice
+    private static String normalize(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -1,15 +1,19 @@
 package com.yoanesber.spring.async_executor.service.impl;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import com.yoanesber.spring.async_executor.entity.Order;
-import com.yoanesber.spring.async_executor.entity.OrderDetail;
+import com.yoanesber.spring.async_executor.mapper.OrderMapper;
+import com.yoanesber.spring.async_executor.model.CompactOrder;
+import com.yoanesber.spring.async_executor.model.CompactOrderItem;
+import com.yoanesber.spring.async_executor.model.CurrencyCode;
+import com.yoanesber.spring.async_executor.model.OrderStatus;
+import com.yoanesber.spring.async_executor.model.PaymentMethod;
+import com.yoanesber.spring.async_executor.model.PaymentStatus;
+import com.yoanesber.spring.async_executor.model.ShippingMethod;
 import com.yoanesber.spring.async_executor.service.EmailService;
 import com.yoanesber.spring.async_executor.service.OrderService;
 
@@ -24,65 +28,45 @@ public class OrderServiceImpl implements OrderService {
         this.emailService = emailService;
     }
 
-    private Order getOrderByID (String orderId) {
-        Order order = new Order();
-        // Unique Order ID
-        order.setOrderId(orderId);
-
-        // Order Date (current timestamp)
-        order.setOrderDate(LocalDateTime.now());
-
-        // Order Status
-        order.setOrderStatus("PENDING");
-
-        // Order Total (e.g., total price of items)
-        order.setOrderTotal(new BigDecimal("199.99"));
-
-        // Currency
-        order.setCurrency("IDR");
-
-        // Customer Information
-        order.setCustomerId("CUST1001");
-        order.setCustomerName("Agus Yulianto");
-        order.setCustomerEmail("agus_yulianto@example.com");
-        order.setCustomerPhone("+62-811-222-3333");
-
-        // Payment Information
-        order.setPaymentMethod("CREDIT_CARD");
-        order.setPaymentStatus("PAID");
-
-        // Shipping Information
-        order.setShippingAddress("Jl. Melati V No. 8, Solo, Jawa Tengah, Indonesia");
-        order.setShippingMethod("STANDARD");
-        order.setDeliveryDate(LocalDateTime.now().plusDays(5)); // Expected delivery in 5 days
-
-        // Tax and Discount
-        order.setTaxAmount(new BigDecimal("9.99"));
-        order.setDiscountCode("DISCOUNT10");
-        order.setDiscountAmount(new BigDecimal("10.00"));
-
-        // Metadata
-        order.setCreatedAt(LocalDateTime.now());
-        order.setUpdatedAt(LocalDateTime.now());
-        order.setProcessedBy("AdminUser");
+    // Orders are held by in-flight tasks in their compact form, so the simulated lookup builds it directly
+    // The Order entity is only used at the API edge, where OrderMapper converts between the two
+    private CompactOrder getOrderByID (String orderId) {
+        long now = System.currentTimeMillis();
 
         // Order Details (list of items in the order)
         // For simplicity, we will add a single item
-        OrderDetail orderDetail = new OrderDetail();
-        orderDetail.setProductId("PROD1001");
-        orderDetail.setProductName("Product A");
-        orderDetail.setProductPrice(new BigDecimal("99.99"));
-        orderDetail.setQuantity(2);
-        orderDetail.setSubtotal(orderDetail.getProductPrice().multiply(new BigDecimal(orderDetail.getQuantity())));
-        orderDetail.setDiscountAmount(new BigDecimal("10.00"));
-        orderDetail.setTotalPrice(orderDetail.getSubtotal().subtract(orderDetail.getDiscountAmount()));
-        orderDetail.setProductImageUrl("https://example.com/product-a.jpg");
-        orderDetail.setNotes("No special notes");
-
-        // Set the order details
-        order.setOrderDetails(List.of(orderDetail));
-
-        return order;
+        CompactOrderItem orderItem = new CompactOrderItem(
+            "PROD1001",                             // Product ID
+            "Product A",                            // Product Name
+            9999,                                   // Product Price (99.99)
+            2,                                      // Quantity
+            1000,                                   // Discount Amount (10.00)
+            "https://example.com/product-a.jpg",    // Product Image URL
+            "No special notes");                    // Notes
+
+        // Amounts are in the currency's minor unit (e.g., 19999 = 199.99 IDR)
+        return new CompactOrder(
+            orderId,                                            // Unique Order ID
+            now,                                                // Order Date (current timestamp)
+            OrderStatus.PENDING,                                // Order Status
+            19999,                                              // Order Total (199.99)
+            CurrencyCode.IDR,                                   // Currency
+            "CUST1001",                                         // Customer ID
+            "Agus Yulianto",                                    // Customer Name
+            "agus_yulianto@example.com",                        // Customer Email
+            "+62-811-222-3333",                                 // Customer Phone
+            PaymentMethod.CREDIT_CARD,                          // Payment Method
+            PaymentStatus.PAID,                                 // Payment Status
+            "Jl. Melati V No. 8, Solo, Jawa Tengah, Indonesia", // Shipping Address
+            ShippingMethod.STANDARD,                            // Shipping Method
+            now + TimeUnit.DAYS.toMillis(5),                    // Expected delivery in 5 days
+            999,                                                // Tax Amount (9.99)
+            "DISCOUNT10",                                       // Discount Code
+            1000,                                               // Discount Amount (10.00)
+            now,                                                // Created At
+            now,                                                // Updated At
+            "AdminUser",                                        // Processed By
+            new CompactOrderItem[] { orderItem });
     }
 
     @Override
@@ -120,11 +104,11 @@ public class OrderServiceImpl implements OrderService {
         // Simulate updating stock
         try {
             // Get order details by order ID
-            Order order = this.getOrderByID(orderId);
+            CompactOrder order = this.getOrderByID(orderId);
 
             // Update stock for each item in the order
-            for (OrderDetail orderDetail : order.getOrderDetails()) {
-                updateStock(orderDetail.getProductId(), orderDetail.getQuantity());
+            for (CompactOrderItem item : order.getItems()) {
+                updateStock(item.getProductId(), item.getQuantity());
             }
 
             // Simulate processing time
@@ -137,6 +121,29 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    @Override
+    public void confirmOrder(String orderId) {
+        logger.info("Confirming order ID: " + orderId);
+
+        // Simulate confirming the order
+        try {
+            // Get order details by order ID
+            CompactOrder order = this.getOrderByID(orderId);
+
+            // Only pending orders can be confirmed
+            if (order.getOrderStatus() != OrderStatus.PENDING) {
+                throw new RuntimeException("Order ID: " + orderId + " cannot be confirmed in status: " + order.getOrderStatus());
+            }
+
+            // Simulate processing time
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            throw new RuntimeException("Error confirming order: " + e.getMessage());
+        } finally {
+            logger.info("Finished confirming order ID: " + orderId);
+        }
+    }
+
     @Override
     public void orderConfirmation(String orderId) {
         logger.info("Sending order confirmation email for order ID: " + orderId);
@@ -144,7 +151,7 @@ public class OrderServiceImpl implements OrderService {
         // Simulate sending order confirmation email
         try {
             // Get order details by order ID
-            Order order = this.getOrderByID(orderId);
+            CompactOrder order = this.getOrderByID(orderId);
 
             // Send order confirmation email to customer
             String email = order.getCustomerEmail();
@@ -152,8 +159,8 @@ public class OrderServiceImpl implements OrderService {
             String message = "Dear " + order.getCustomerName() + ",\n\n"
                     + "Thank you for your order. Your order has been confirmed and is being processed.\n\n"
                     + "Order ID: " + order.getOrderId() + "\n"
-                    + "Order Date: " + order.getOrderDate() + "\n"
-                    + "Total Amount: " + order.getOrderTotal() + " " + order.getCurrency() + "\n\n"
+                    + "Order Date: " + OrderMapper.toLocalDateTime(order.getOrderDateEpochMillis()) + "\n"
+                    + "Total Amount: " + OrderMapper.fromMinor(order.getOrderTotalMinor(), order.getCurrency()) + " " + order.getCurrency() + "\n\n"
                     + "We will notify you once your order has been shipped.\n\n"
                     + "Thank you for shopping with us!\n\n"
                     + "Best regards,\n"
@@ -0,0 +1,52 @@
+package com.yoanesber.spring.async_executor.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    @Value("${reactive.blocking.thread.cap:50}")
+    private int blockingThreadCap;
+
+    @Value("${reactive.blocking.queued.task.cap:1000}")
+    private int blockingQueuedTaskCap;
+
+    @Value("${reactive.blocking.thread.name.prefix:legacy-blocking}")
+    private String blockingThreadNamePrefix;
+
+    /*
+     * The reactive profile serves the order and password endpoints with WebFlux on Netty.
+     * Request handling runs on a few Netty event loop threads, so no servlet thread is held per request.
+     * The legacy EmailService and OrderService implementations still block (Thread.sleep, I/O),
+     * so they must never run on an event loop thread. They are confined to a dedicated bounded elastic scheduler.
+     *
+     * The properties are:
+     * 1. reactive.blocking.thread.cap: The maximum number of threads running blocking calls.
+     * 2. reactive.blocking.queued.task.cap: The maximum number of blocking calls waiting for each thread.
+     *    Once full, new calls fail with RejectedExecutionException instead of queueing without limit.
+     * 3. reactive.blocking.thread.name.prefix: The prefix to use for the names of the threads.
+     *
+     * The order stages do not run on this scheduler. Each stage is submitted to the executor of the same stage in PipelineConfig,
+     * so both stacks share the per-stage queue capacity, thread budget, rejection policy and shutdown order.
+     */
+
+    // Create a bounded elastic scheduler for the blocking legacy services
+    @Bean(destroyMethod = "dispose")
+    public Scheduler blockingScheduler() {
+        return Schedulers.newBoundedElastic(blockingThreadCap, blockingQueuedTaskCap, blockingThreadNamePrefix);
+    }
+
+    // Use Netty even though Tomcat is also on the classpath for the servlet stack
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,83 @@
+package com.yoanesber.spring.async_executor.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import com.yoanesber.spring.async_executor.service.ClusterService;
+import com.yoanesber.spring.async_executor.service.ReactiveOrderService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+@RestController
+@RequestMapping("/api/v1/order")
+@Profile("reactive")
+public class ReactiveOrderController {
+
+    private final ReactiveOrderService reactiveOrderService;
+
+    private final ClusterService clusterService;
+
+    private final Scheduler blockingScheduler;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public ReactiveOrderController(ReactiveOrderService reactiveOrderService, ClusterService clusterService,
+            Scheduler blockingScheduler) {
+        this.reactiveOrderService = reactiveOrderService;
+        this.clusterService = clusterService;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    @PostMapping("/process/{orderId}")
+    public Mono<ResponseEntity<Object>> processOrders(@PathVariable String orderId,
+            @RequestHeader(value = ClusterService.FORWARDED_HEADER, required = false) String forwardedBy,
+            @RequestHeader(value = ClusterService.TOKEN_HEADER, required = false) String token) {
+        // Validate request
+        if (orderId == null || orderId.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().body("Order ID is required"));
+        }
+
+        // In cluster mode, forward the order to the node that owns it
+        // The forwarding call is blocking, so it runs on the bounded elastic scheduler
+        // The forwarded header is only trusted with the cluster token, so clients cannot bypass the owner routing
+        boolean forwarded = forwardedBy != null && clusterService.isTrustedToken(token);
+        if (!forwarded && !clusterService.isLocallyOwned(orderId)) {
+            String ownerUrl = clusterService.getOwner(orderId);
+            return Mono.fromCallable(() -> ResponseEntity.ok().body((Object) clusterService.forwardOrder(ownerUrl, orderId)))
+                .subscribeOn(blockingScheduler)
+                .onErrorResume(RestClientResponseException.class,
+                    e -> Mono.just(ResponseEntity.status(e.getStatusCode()).body((Object) e.getResponseBodyAsString())))
+                // The order never reached the owner, so it is safe to process it here
+                .onErrorResume(ResourceAccessException.class, e -> {
+                    logger.warn("Processing order ID: " + orderId + " locally, owner node is unreachable: " + ownerUrl);
+                    return processLocally(orderId);
+                })
+                // The owner may already be processing the order, processing it here as well would run it twice
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body("Failed to process order: " + e.getMessage())));
+        }
+
+        return processLocally(orderId);
+    }
+
+    // Start the order pipeline without waiting for it, like the servlet endpoint does
+    private Mono<ResponseEntity<Object>> processLocally(String orderId) {
+        return reactiveOrderService.submitOrder(orderId)
+            .thenReturn(ResponseEntity.ok().body((Object) "Order processed successfully"))
+            // Too many orders in flight, ask the client to retry later
+            .onErrorResume(TaskRejectedException.class,
+                e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Order pipeline is busy, please retry later")))
+            .onErrorResume(e -> Mono.just(ResponseEntity.internalServerError().body("Failed to process order: " + e.getMessage())));
+    }
+}
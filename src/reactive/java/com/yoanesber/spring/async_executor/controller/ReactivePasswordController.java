@@ -0,0 +1,49 @@
+package com.yoanesber.spring.async_executor.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.yoanesber.spring.async_executor.dto.ForgotPasswordRequestDTO;
+import com.yoanesber.spring.async_executor.service.ReactiveEmailService;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/password")
+@Profile("reactive")
+public class ReactivePasswordController {
+
+    private final ReactiveEmailService reactiveEmailService;
+
+    private static final String DEFAULT_PASSWORD = "P@ssw0rd";
+
+    public ReactivePasswordController(ReactiveEmailService reactiveEmailService) {
+        this.reactiveEmailService = reactiveEmailService;
+    }
+
+    @PostMapping("/forgot-password")
+    public Mono<ResponseEntity<Object>> forgotPassword(@RequestBody ForgotPasswordRequestDTO request) {
+        // Validate request
+        if (request == null || request.getEmail() == null || request.getEmail().isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().body("Email is required"));
+        }
+
+        String message = "You have requested to reset your password. A temporary password has been generated for you: " + DEFAULT_PASSWORD + ".\n" +
+            "For security reasons, please log in and change your password immediately.\n" +
+            "If you did not request this password reset, please ignore this email or contact our support team.";
+
+        // Send email without waiting for it, like the servlet endpoint does
+        return reactiveEmailService.submitEmail(request.getEmail(), message, "Forgot Password")
+            .thenReturn(ResponseEntity.ok().body((Object) "Password reset email sent successfully"))
+            // Too many emails in flight, ask the client to retry later
+            .onErrorResume(TaskRejectedException.class,
+                e -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Email service is busy, please retry later")))
+            .onErrorResume(e -> Mono.just(ResponseEntity.internalServerError().body("Failed to send email: " + e.getMessage())));
+    }
+}
@@ -0,0 +1,12 @@
+package com.yoanesber.spring.async_executor.service;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmailService {
+    // Send email
+    Mono<Void> sendEmail(String email, String message, String subject);
+
+    // Start sending an email without waiting for it
+    // Fails with TaskRejectedException when too many emails are already in flight
+    Mono<Void> submitEmail(String email, String message, String subject);
+}
@@ -0,0 +1,24 @@
+package com.yoanesber.spring.async_executor.service;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveOrderService {
+    // Update stock
+    Mono<Boolean> updateStock(String productId, int quantity);
+
+    // Update stock by order ID
+    Mono<Void> updateStockByOrderID(String orderId);
+
+    // Confirm order after its stock has been reserved
+    Mono<Void> confirmOrder(String orderId);
+
+    // Send order confirmation email
+    Mono<Void> orderConfirmation(String orderId);
+
+    // Process an order through reserve stock -> confirm order -> notify customer
+    Mono<Void> processOrder(String orderId);
+
+    // Start processing an order without waiting for it
+    // Fails with TaskRejectedException when too many orders are already in flight
+    Mono<Void> submitOrder(String orderId);
+}
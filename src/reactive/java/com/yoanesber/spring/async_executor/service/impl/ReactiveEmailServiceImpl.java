@@ -0,0 +1,77 @@
+package com.yoanesber.spring.async_executor.service.impl;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import com.yoanesber.spring.async_executor.service.EmailService;
+import com.yoanesber.spring.async_executor.service.ReactiveEmailService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.retry.Retry;
+
+// Reactive adapter over the blocking EmailService
+// The blocking call is subscribed on the bounded elastic scheduler, never on a Netty event loop thread
+@Service
+@Profile("reactive")
+public class ReactiveEmailServiceImpl implements ReactiveEmailService {
+
+    private final EmailService emailService;
+
+    private final Scheduler blockingScheduler;
+
+    // Emails admitted by submitEmail that have not been sent yet
+    private final Semaphore inFlightEmails;
+
+    // Maximum number of attempts, same as EmailAsync
+    private static final int maxAttemptsRetry = 3;
+
+    // Delay between attempts
+    private static final Duration initialIntervalRetry = Duration.ofSeconds(2);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    // By default, as many emails as the blocking scheduler can hold are admitted
+    public ReactiveEmailServiceImpl(EmailService emailService, Scheduler blockingScheduler,
+            @Value("${reactive.email.max.in.flight:#{${reactive.blocking.thread.cap:50} * ${reactive.blocking.queued.task.cap:1000}}}") int maxInFlightEmails) {
+        this.emailService = emailService;
+        this.blockingScheduler = blockingScheduler;
+        this.inFlightEmails = new Semaphore(maxInFlightEmails);
+    }
+
+    @Override
+    public Mono<Void> sendEmail(String email, String message, String subject) {
+        return Mono.<Void>fromRunnable(() -> emailService.sendEmail(email, message, subject))
+            .subscribeOn(blockingScheduler);
+    }
+
+    // Admit the email only while fewer than reactive.email.max.in.flight emails are being sent,
+    // so the client receives 503 instead of a dropped email when the blocking scheduler is full
+    @Override
+    public Mono<Void> submitEmail(String email, String message, String subject) {
+        return Mono.defer(() -> {
+            if (!inFlightEmails.tryAcquire()) {
+                return Mono.error(new TaskRejectedException("Too many emails in flight, email to: " + email + " was not accepted"));
+            }
+
+            // A full blocking scheduler is not retried, retrying would only add more load to it
+            sendEmail(email, message, subject)
+                .retryWhen(Retry.fixedDelay(maxAttemptsRetry - 1, initialIntervalRetry)
+                    .filter(ex -> !(ex instanceof RejectedExecutionException))
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .doFinally(signal -> inFlightEmails.release())
+                .subscribe(null, ex -> logger.error("Failed to send email after " + maxAttemptsRetry + " attempts. Email: " + email
+                    + ", error: " + ex.getMessage()));
+
+            return Mono.empty();
+        });
+    }
+}
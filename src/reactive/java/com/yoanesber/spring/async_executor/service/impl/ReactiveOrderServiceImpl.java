@@ -0,0 +1,143 @@
+package com.yoanesber.spring.async_executor.service.impl;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.yoanesber.spring.async_executor.service.OrderService;
+import com.yoanesber.spring.async_executor.service.ReactiveOrderService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.retry.Retry;
+
+// Reactive adapter over the blocking OrderService
+// The blocking calls never run on a Netty event loop thread:
+// each order stage is submitted to the executor of its pipeline stage (see PipelineConfig), other calls run on the bounded elastic scheduler
+@Service
+@Profile("reactive")
+public class ReactiveOrderServiceImpl implements ReactiveOrderService {
+
+    private final OrderService orderService;
+
+    private final Scheduler blockingScheduler;
+
+    private final ThreadPoolTaskExecutor reserveStockExecutor;
+
+    private final ThreadPoolTaskExecutor confirmOrderExecutor;
+
+    private final ThreadPoolTaskExecutor notifyCustomerExecutor;
+
+    // Orders admitted by submitOrder that have not completed yet
+    private final Semaphore inFlightOrders;
+
+    // Maximum number of attempts per stage, same as OrderAsync
+    private static final int maxAttemptsRetry = 3;
+
+    // Delay between attempts
+    private static final Duration initialIntervalRetry = Duration.ofSeconds(2);
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    public ReactiveOrderServiceImpl(OrderService orderService, Scheduler blockingScheduler,
+            ThreadPoolTaskExecutor reserveStockExecutor, ThreadPoolTaskExecutor confirmOrderExecutor,
+            ThreadPoolTaskExecutor notifyCustomerExecutor,
+            @Value("${reactive.order.max.in.flight:1000}") int maxInFlightOrders) {
+        this.orderService = orderService;
+        this.blockingScheduler = blockingScheduler;
+        this.reserveStockExecutor = reserveStockExecutor;
+        this.confirmOrderExecutor = confirmOrderExecutor;
+        this.notifyCustomerExecutor = notifyCustomerExecutor;
+        this.inFlightOrders = new Semaphore(maxInFlightOrders);
+    }
+
+    @Override
+    public Mono<Boolean> updateStock(String productId, int quantity) {
+        return Mono.fromCallable(() -> orderService.updateStock(productId, quantity))
+            .subscribeOn(blockingScheduler);
+    }
+
+    @Override
+    public Mono<Void> updateStockByOrderID(String orderId) {
+        return onStage(reserveStockExecutor, () -> orderService.updateStockByOrderID(orderId));
+    }
+
+    @Override
+    public Mono<Void> confirmOrder(String orderId) {
+        return onStage(confirmOrderExecutor, () -> orderService.confirmOrder(orderId));
+    }
+
+    @Override
+    public Mono<Void> orderConfirmation(String orderId) {
+        return onStage(notifyCustomerExecutor, () -> orderService.orderConfirmation(orderId));
+    }
+
+    // Run a stage on its pipeline executor and complete when it is done
+    // A full first stage fails with TaskRejectedException, a full downstream stage runs the task on the caller's thread
+    private static Mono<Void> onStage(ThreadPoolTaskExecutor stageExecutor, Runnable task) {
+        return Mono.fromFuture(() -> stageExecutor.submitCompletable(task));
+    }
+
+    // Each stage is retried on its own, and a stage that still fails stops the downstream stages
+    @Override
+    public Mono<Void> processOrder(String orderId) {
+        return withRetry(updateStockByOrderID(orderId), "reserveStock", orderId)
+            .then(withRetry(confirmOrder(orderId), "confirmOrder", orderId))
+            .then(withRetry(orderConfirmation(orderId), "notifyCustomer", orderId))
+            .doOnSuccess(result -> logger.info("Order pipeline completed for order ID: " + orderId))
+            .doOnError(ex -> logger.error("Order pipeline stopped for order ID: " + orderId + " with exception message: " + ex.getMessage()));
+    }
+
+    // Admit the order only while fewer than reactive.order.max.in.flight orders are running
+    // and the first stage accepts it, like the AbortPolicy of the first servlet pipeline stage,
+    // so the client receives 503 instead of a dropped order
+    // Failures of an admitted order are logged by processOrder
+    @Override
+    public Mono<Void> submitOrder(String orderId) {
+        return Mono.defer(() -> {
+            if (!inFlightOrders.tryAcquire()) {
+                return Mono.error(new TaskRejectedException("Too many orders in flight, order ID: " + orderId + " was not accepted"));
+            }
+
+            // A full first stage rejects the order while it is subscribed, so the rejection is seen before returning
+            AtomicBoolean subscribing = new AtomicBoolean(true);
+            AtomicReference<Throwable> rejected = new AtomicReference<>();
+            processOrder(orderId)
+                .doFinally(signal -> inFlightOrders.release())
+                .subscribe(null, ex -> {
+                    if (subscribing.get() && ex instanceof RejectedExecutionException) {
+                        rejected.set(ex);
+                    }
+                });
+            subscribing.set(false);
+
+            if (rejected.get() != null) {
+                return Mono.error(new TaskRejectedException("Order pipeline is full, order ID: " + orderId + " was not accepted", rejected.get()));
+            }
+
+            return Mono.empty();
+        });
+    }
+
+    // A full or shut down stage is not retried, retrying would only add more load to it
+    // The retry is resubscribed from the blocking scheduler, so a full downstream stage that runs the task
+    // on the caller's thread never blocks a Reactor timer thread
+    private Mono<Void> withRetry(Mono<Void> stage, String stageName, String orderId) {
+        return stage.retryWhen(Retry.fixedDelay(maxAttemptsRetry - 1, initialIntervalRetry)
+            .scheduler(blockingScheduler)
+            .filter(ex -> !(ex instanceof RejectedExecutionException))
+            .doBeforeRetry(signal -> logger.warn("Retrying " + stageName + " for order ID: " + orderId
+                + " after failure: " + signal.failure().getMessage()))
+            .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+}
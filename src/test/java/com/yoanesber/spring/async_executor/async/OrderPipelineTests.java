@@ -0,0 +1,144 @@
+package com.yoanesber.spring.async_executor.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import com.yoanesber.spring.async_executor.config.PipelineConfig;
+import com.yoanesber.spring.async_executor.service.OrderService;
+
+// Runs the pipeline through the real async and retry proxies, with a stub OrderService
+// The first stage has a single thread and a single queue slot, so it is easy to saturate
+@SpringJUnitConfig(OrderPipelineTests.TestConfig.class)
+@TestPropertySource(properties = {
+	"pipeline.reserve.stock.core.pool.size=1",
+	"pipeline.reserve.stock.max.pool.size=1",
+	"pipeline.reserve.stock.queue.capacity=1"
+})
+class OrderPipelineTests {
+
+	@Configuration
+	@EnableAsync
+	@EnableRetry
+	@Import({PipelineConfig.class, OrderAsync.class, OrderPipeline.class})
+	static class TestConfig {
+
+		@Bean
+		StubOrderService orderService() {
+			return new StubOrderService();
+		}
+	}
+
+	// Records every call, fails the stock update of "FAIL-" orders and blocks it for "BLOCK-" orders
+	static class StubOrderService implements OrderService {
+
+		final List<String> calls = new CopyOnWriteArrayList<>();
+
+		volatile CountDownLatch blocker = new CountDownLatch(0);
+
+		volatile CountDownLatch blockedStarted = new CountDownLatch(1);
+
+		@Override
+		public Boolean updateStock(String productId, int quantity) {
+			return true;
+		}
+
+		@Override
+		public void updateStockByOrderID(String orderId) {
+			calls.add("updateStockByOrderID:" + orderId);
+
+			if (orderId.startsWith("FAIL-")) {
+				throw new RuntimeException("Insufficient stock for order ID: " + orderId);
+			}
+
+			if (orderId.startsWith("BLOCK-")) {
+				blockedStarted.countDown();
+				try {
+					blocker.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		@Override
+		public void confirmOrder(String orderId) {
+			calls.add("confirmOrder:" + orderId);
+		}
+
+		@Override
+		public void orderConfirmation(String orderId) {
+			calls.add("orderConfirmation:" + orderId);
+		}
+	}
+
+	@Autowired
+	private OrderPipeline orderPipeline;
+
+	@Autowired
+	private StubOrderService orderService;
+
+	@BeforeEach
+	void resetStub() {
+		orderService.calls.clear();
+		orderService.blocker = new CountDownLatch(0);
+		orderService.blockedStarted = new CountDownLatch(1);
+	}
+
+	@Test
+	void completedOrderRunsEveryStageInOrder() throws Exception {
+		orderPipeline.process("ORD-1").get(10, TimeUnit.SECONDS);
+
+		assertEquals(List.of("updateStockByOrderID:ORD-1", "confirmOrder:ORD-1", "orderConfirmation:ORD-1"), orderService.calls);
+	}
+
+	@Test
+	void failedStockUpdateStopsDownstreamStages() {
+		CompletableFuture<Void> result = orderPipeline.process("FAIL-1");
+
+		assertThrows(ExecutionException.class, () -> result.get(30, TimeUnit.SECONDS));
+
+		// The stock update is retried, but the order is never confirmed nor notified
+		assertTrue(orderService.calls.stream().allMatch(call -> call.equals("updateStockByOrderID:FAIL-1")));
+		assertFalse(orderService.calls.contains("confirmOrder:FAIL-1"));
+		assertFalse(orderService.calls.contains("orderConfirmation:FAIL-1"));
+	}
+
+	@Test
+	void fullFirstStageRejectsOrder() throws Exception {
+		orderService.blocker = new CountDownLatch(1);
+
+		// One order runs and one waits in the queue, so the first stage is full
+		// Wait for the first one to run, the stage thread may still be finishing a previous test's order
+		CompletableFuture<Void> running = orderPipeline.process("BLOCK-1");
+		assertTrue(orderService.blockedStarted.await(10, TimeUnit.SECONDS));
+		CompletableFuture<Void> queued = orderPipeline.process("BLOCK-2");
+
+		// The order controller answers 503 for this exception
+		assertThrows(TaskRejectedException.class, () -> orderPipeline.process("BLOCK-3"));
+
+		orderService.blocker.countDown();
+		CompletableFuture.allOf(running, queued).get(10, TimeUnit.SECONDS);
+		assertFalse(orderService.calls.contains("updateStockByOrderID:BLOCK-3"));
+	}
+}
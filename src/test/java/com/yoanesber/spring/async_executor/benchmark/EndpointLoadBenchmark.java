@@ -0,0 +1,105 @@
+package com.yoanesber.spring.async_executor.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/*
+ * Compares the throughput and latency of the servlet (Tomcat) and reactive (Netty) stacks.
+ * Start the application once per stack and run the benchmark against it (see "Benchmarks" in the README).
+ * Arguments: [baseUrl] [requests] [concurrency] [order|password]
+ *
+ * Both endpoints hand the work off and answer right away, so the numbers show the cost of accepting
+ * a request on each stack (threads held, dispatch, serialization) rather than the work itself.
+ * Non-2xx answers (e.g., 503 when the first order pipeline stage is full) are counted per status code.
+ */
+public class EndpointLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        String endpoint = args.length > 3 ? args[3] : "order";
+
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(8))
+            .build();
+
+        // Warm up the server (JIT, connection pools) before measuring
+        run(client, baseUrl, endpoint, Math.min(requests, 1_000), concurrency);
+
+        Result result = run(client, baseUrl, endpoint, requests, concurrency);
+        long[] latencies = result.latenciesMicros;
+        Arrays.sort(latencies);
+
+        System.out.println("Endpoint    : " + endpoint + " (" + baseUrl + ")");
+        System.out.println("Requests    : " + requests + " with concurrency " + concurrency);
+        System.out.println("Throughput  : " + String.format("%.1f", requests * 1000.0 / result.elapsedMillis) + " req/s");
+        System.out.println("Latency p50 : " + percentile(latencies, 50) / 1000.0 + " ms");
+        System.out.println("Latency p95 : " + percentile(latencies, 95) / 1000.0 + " ms");
+        System.out.println("Latency p99 : " + percentile(latencies, 99) / 1000.0 + " ms");
+        System.out.println("Latency max : " + latencies[latencies.length - 1] / 1000.0 + " ms");
+        System.out.println("Status codes: " + new TreeMap<>(result.statusCounts));
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, String baseUrl, String endpoint, int requests, int concurrency)
+            throws InterruptedException {
+        long[] latenciesMicros = new long[requests];
+        Map<Integer, Integer> statusCounts = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(concurrency);
+        ExecutorService callbacks = Executors.newFixedThreadPool(4);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+
+            int index = i;
+            long sentAt = System.nanoTime();
+            client.sendAsync(newRequest(baseUrl, endpoint, i), HttpResponse.BodyHandlers.discarding())
+                .whenCompleteAsync((response, ex) -> {
+                    latenciesMicros[index] = (System.nanoTime() - sentAt) / 1_000;
+                    statusCounts.merge(ex == null ? response.statusCode() : -1, 1, Integer::sum);
+                    inFlight.release();
+                }, callbacks);
+        }
+
+        // Wait for the last requests to complete
+        inFlight.acquire(concurrency);
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        callbacks.shutdown();
+
+        return new Result(latenciesMicros, statusCounts, elapsedMillis);
+    }
+
+    private static HttpRequest newRequest(String baseUrl, String endpoint, int i) {
+        if (endpoint.equals("password")) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/password/forgot-password"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\": \"user" + i + "@myemail.com\"}"))
+                .build();
+        }
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/order/process/ORD" + i))
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private record Result(long[] latenciesMicros, Map<Integer, Integer> statusCounts, long elapsedMillis) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.yoanesber.spring.async_executor.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import com.yoanesber.spring.async_executor.entity.Order;
+import com.yoanesber.spring.async_executor.entity.OrderDetail;
+import com.yoanesber.spring.async_executor.model.CompactOrder;
+import com.yoanesber.spring.async_executor.model.CompactOrderItem;
+import com.yoanesber.spring.async_executor.model.CurrencyCode;
+import com.yoanesber.spring.async_executor.model.OrderStatus;
+import com.yoanesber.spring.async_executor.model.PaymentMethod;
+import com.yoanesber.spring.async_executor.model.PaymentStatus;
+import com.yoanesber.spring.async_executor.model.ShippingMethod;
+
+/*
+ * Compares the memory footprint and GC cost of the Order entity with the CompactOrder model.
+ * Run it with a fixed heap, e.g. -Xms1g -Xmx1g (see "Benchmarks" in the README).
+ * Arguments: [orders]
+ *
+ * 1. Retained footprint: N orders of each kind are kept reachable and the heap growth after a full GC is reported.
+ * 2. GC churn: N orders of each kind are built and dropped repeatedly (as in-flight tasks do),
+ *    and the allocated bytes, GC count and GC time are reported.
+ * Strings that are shared by every order (e.g., the customer name literal) are not counted,
+ * so the numbers show the per-order overhead of the representation itself.
+ */
+public class OrderFootprintBenchmark {
+
+    private static final int CHURN_ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int orders = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        // Warm up both code paths before measuring
+        retain(OrderFootprintBenchmark::newOrder, 10_000);
+        retain(OrderFootprintBenchmark::newCompactOrder, 10_000);
+
+        System.out.println("Orders: " + orders);
+        System.out.println();
+        System.out.println("Retained footprint (bytes/order)");
+        System.out.println("  Order entity : " + retainedBytes(OrderFootprintBenchmark::newOrder, orders) / orders);
+        System.out.println("  CompactOrder : " + retainedBytes(OrderFootprintBenchmark::newCompactOrder, orders) / orders);
+
+        System.out.println();
+        System.out.println("GC churn (" + CHURN_ROUNDS + " rounds)");
+        churn("  Order entity : ", OrderFootprintBenchmark::newOrder, orders);
+        churn("  CompactOrder : ", OrderFootprintBenchmark::newCompactOrder, orders);
+    }
+
+    // Build an order the same way as OrderServiceImpl, with a distinct ID and amounts per order
+    private static Order newOrder(int i) {
+        LocalDateTime now = LocalDateTime.now();
+
+        Order order = new Order();
+        order.setOrderId("ORD" + i);
+        order.setOrderDate(now);
+        order.setOrderStatus("PENDING");
+        order.setOrderTotal(BigDecimal.valueOf(19999L + i, 2));
+        order.setCurrency("IDR");
+        order.setCustomerId("CUST1001");
+        order.setCustomerName("Agus Yulianto");
+        order.setCustomerEmail("agus_yulianto@example.com");
+        order.setCustomerPhone("+62-811-222-3333");
+        order.setPaymentMethod("CREDIT_CARD");
+        order.setPaymentStatus("PAID");
+        order.setShippingAddress("Jl. Melati V No. 8, Solo, Jawa Tengah, Indonesia");
+        order.setShippingMethod("STANDARD");
+        order.setDeliveryDate(now.plusDays(5));
+        order.setTaxAmount(BigDecimal.valueOf(999L + i, 2));
+        order.setDiscountCode("DISCOUNT10");
+        order.setDiscountAmount(new BigDecimal("10.00"));
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        order.setProcessedBy("AdminUser");
+
+        OrderDetail orderDetail = new OrderDetail();
+        orderDetail.setOrder(order);
+        orderDetail.setProductId("PROD1001");
+        orderDetail.setProductName("Product A");
+        orderDetail.setProductPrice(BigDecimal.valueOf(9999L + i, 2));
+        orderDetail.setQuantity(2);
+        orderDetail.setSubtotal(orderDetail.getProductPrice().multiply(new BigDecimal(orderDetail.getQuantity())));
+        orderDetail.setDiscountAmount(new BigDecimal("10.00"));
+        orderDetail.setTotalPrice(orderDetail.getSubtotal().subtract(orderDetail.getDiscountAmount()));
+        orderDetail.setProductImageUrl("https://example.com/product-a.jpg");
+        orderDetail.setNotes("No special notes");
+        order.setOrderDetails(List.of(orderDetail));
+
+        return order;
+    }
+
+    // Build the same order directly in its compact form, as OrderServiceImpl does for in-flight tasks
+    private static CompactOrder newCompactOrder(int i) {
+        long now = System.currentTimeMillis();
+
+        CompactOrderItem orderItem = new CompactOrderItem(
+            "PROD1001",
+            "Product A",
+            9999L + i,
+            2,
+            1000,
+            "https://example.com/product-a.jpg",
+            "No special notes");
+
+        return new CompactOrder(
+            "ORD" + i,
+            now,
+            OrderStatus.PENDING,
+            19999L + i,
+            CurrencyCode.IDR,
+            "CUST1001",
+            "Agus Yulianto",
+            "agus_yulianto@example.com",
+            "+62-811-222-3333",
+            PaymentMethod.CREDIT_CARD,
+            PaymentStatus.PAID,
+            "Jl. Melati V No. 8, Solo, Jawa Tengah, Indonesia",
+            ShippingMethod.STANDARD,
+            now + TimeUnit.DAYS.toMillis(5),
+            999L + i,
+            "DISCOUNT10",
+            1000,
+            now,
+            now,
+            "AdminUser",
+            new CompactOrderItem[] { orderItem });
+    }
+
+    private static Object[] retain(IntFunction<?> factory, int count) {
+        Object[] retained = new Object[count];
+        for (int i = 0; i < count; i++) {
+            retained[i] = factory.apply(i);
+        }
+        return retained;
+    }
+
+    private static long retainedBytes(IntFunction<?> factory, int count) {
+        Object[] holder = new Object[count];
+        long before = usedHeapAfterGc();
+        for (int i = 0; i < count; i++) {
+            holder[i] = factory.apply(i);
+        }
+        long after = usedHeapAfterGc();
+
+        // Keep the orders reachable until the measurement is taken
+        if (holder[count - 1] == null) {
+            throw new IllegalStateException("Order was not created");
+        }
+        return after - before;
+    }
+
+    private static void churn(String label, IntFunction<?> factory, int count) {
+        usedHeapAfterGc();
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTimeMillis();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        for (int round = 0; round < CHURN_ROUNDS; round++) {
+            retain(factory, count);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println(label
+            + "allocated " + (allocatedBytes() - allocatedBefore) / (1024 * 1024) + " MB, "
+            + (gcCount() - gcCountBefore) + " GCs, "
+            + (gcTimeMillis() - gcTimeBefore) + " ms in GC, "
+            + elapsedMillis + " ms total");
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTimeMillis() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+
+    // Bytes allocated by the current thread (HotSpot specific)
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,139 @@
+package com.yoanesber.spring.async_executor.benchmark;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Measures how soon a freshly started instance can absorb work.
+ * It starts the application with the given command, sends an order as soon as the port accepts it,
+ * and waits until that order has gone through every pipeline stage. Run it once per build (see "Benchmarks" in the README).
+ * Arguments: [runs] [baseUrl] -- <command to start the application>
+ *
+ * Reported per run (milliseconds since the process was launched):
+ * 1. started: the "Started AsyncExecutorApplication" log line.
+ * 2. accepted: the first order request answered with 2xx.
+ * 3. first task started: the first stage of the order started running on its executor.
+ * 4. first order completed: the order went through every pipeline stage (time-to-first-processed-task).
+ *    This includes the simulated processing time of the stages, which is the same for every build.
+ */
+public class StartupBenchmark {
+
+    private static final String STARTED_LOG = "Started AsyncExecutorApplication";
+
+    private static final String FIRST_TASK_LOG = "Started asynchronous task (reserveStock)";
+
+    private static final String FIRST_ORDER_LOG = "Order pipeline completed for order ID: ORD-STARTUP";
+
+    private static final long TIMEOUT_MILLIS = 120_000;
+
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            System.err.println("Usage: StartupBenchmark [runs] [baseUrl] -- <command to start the application>");
+            System.exit(1);
+        }
+
+        int runs = separator > 0 ? Integer.parseInt(args[0]) : 5;
+        String baseUrl = separator > 1 ? args[1] : "http://localhost:8081";
+        List<String> command = Arrays.asList(args).subList(separator + 1, args.length);
+
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+        List<long[]> results = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            long[] result = measure(client, baseUrl, command);
+            results.add(result);
+            System.out.println("Run " + run + ": started " + result[0] + " ms, accepted " + result[1]
+                + " ms, first task started " + result[2] + " ms, first order completed " + result[3] + " ms");
+        }
+
+        System.out.println("Command : " + String.join(" ", command));
+        System.out.println("Median  : started " + median(results, 0) + " ms, accepted " + median(results, 1)
+            + " ms, first task started " + median(results, 2) + " ms, first order completed " + median(results, 3) + " ms");
+    }
+
+    private static long[] measure(HttpClient client, String baseUrl, List<String> command) throws Exception {
+        long launchedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        CompletableFuture<Long> started = new CompletableFuture<>();
+        CompletableFuture<Long> firstTask = new CompletableFuture<>();
+        CompletableFuture<Long> firstOrder = new CompletableFuture<>();
+
+        // Watch the application log for the startup, first task and first order lines
+        Thread logReader = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    long elapsed = (System.nanoTime() - launchedAt) / 1_000_000;
+                    if (line.contains(STARTED_LOG)) {
+                        started.complete(elapsed);
+                    } else if (line.contains(FIRST_TASK_LOG)) {
+                        firstTask.complete(elapsed);
+                    } else if (line.contains(FIRST_ORDER_LOG)) {
+                        firstOrder.complete(elapsed);
+                    }
+                }
+            } catch (Exception e) {
+                // The process was stopped
+            }
+        });
+        logReader.setDaemon(true);
+        logReader.start();
+
+        try {
+            long accepted = sendFirstOrder(client, baseUrl, launchedAt);
+            return new long[] {
+                started.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS),
+                accepted,
+                firstTask.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS),
+                firstOrder.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+            };
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // Retry the order request until the application accepts it
+    // A 503 (first stage not ready or full) is retried as well
+    private static long sendFirstOrder(HttpClient client, String baseUrl, long launchedAt) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/order/process/ORD-STARTUP"))
+            .timeout(Duration.ofSeconds(5))
+            .POST(HttpRequest.BodyPublishers.noBody())
+            .build();
+
+        while ((System.nanoTime() - launchedAt) / 1_000_000 < TIMEOUT_MILLIS) {
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 == 2) {
+                    return (System.nanoTime() - launchedAt) / 1_000_000;
+                }
+            } catch (Exception e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+
+        throw new IllegalStateException("Application did not accept an order within " + TIMEOUT_MILLIS + " ms");
+    }
+
+    private static long median(List<long[]> results, int index) {
+        long[] values = results.stream().mapToLong(result -> result[index]).sorted().toArray();
+        return values[values.length / 2];
+    }
+}
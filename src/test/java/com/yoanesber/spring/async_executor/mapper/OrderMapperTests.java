@@ -0,0 +1,110 @@
+package com.yoanesber.spring.async_executor.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.yoanesber.spring.async_executor.entity.Order;
+import com.yoanesber.spring.async_executor.entity.OrderDetail;
+import com.yoanesber.spring.async_executor.model.CompactOrder;
+import com.yoanesber.spring.async_executor.model.CurrencyCode;
+import com.yoanesber.spring.async_executor.model.OrderStatus;
+
+class OrderMapperTests {
+
+	private Order newOrder() {
+		Order order = new Order();
+		order.setOrderId("ORD123456789");
+		order.setOrderDate(LocalDateTime.of(2025, 1, 31, 10, 15, 30));
+		order.setOrderStatus("PENDING");
+		order.setOrderTotal(new BigDecimal("199.99"));
+		order.setCurrency("IDR");
+		order.setPaymentMethod("CREDIT_CARD");
+		order.setPaymentStatus("PAID");
+		order.setShippingMethod("STANDARD");
+		order.setTaxAmount(new BigDecimal("9.99"));
+		order.setDiscountAmount(new BigDecimal("10.00"));
+
+		OrderDetail orderDetail = new OrderDetail();
+		orderDetail.setOrder(order);
+		orderDetail.setProductId("PROD1001");
+		orderDetail.setProductPrice(new BigDecimal("99.99"));
+		orderDetail.setQuantity(2);
+		orderDetail.setSubtotal(new BigDecimal("199.98"));
+		orderDetail.setDiscountAmount(new BigDecimal("10.00"));
+		orderDetail.setTotalPrice(new BigDecimal("189.98"));
+		order.setOrderDetails(List.of(orderDetail));
+
+		return order;
+	}
+
+	@Test
+	void convertsEntityToCompactOrder() {
+		CompactOrder compactOrder = OrderMapper.toCompact(newOrder());
+
+		assertEquals(OrderStatus.PENDING, compactOrder.getOrderStatus());
+		assertEquals(CurrencyCode.IDR, compactOrder.getCurrency());
+		assertEquals(19999L, compactOrder.getOrderTotalMinor());
+		assertEquals(19998L, compactOrder.getItems()[0].getSubtotalMinor());
+		assertEquals(18998L, compactOrder.getItems()[0].getTotalPriceMinor());
+		assertEquals(OrderMapper.NO_TIMESTAMP, compactOrder.getDeliveryDateEpochMillis());
+	}
+
+	@Test
+	void roundTripKeepsOrderValues() {
+		Order order = newOrder();
+		Order converted = OrderMapper.toEntity(OrderMapper.toCompact(order));
+
+		assertEquals(order.getOrderDate(), converted.getOrderDate());
+		assertEquals(order.getOrderTotal(), converted.getOrderTotal());
+		assertEquals(order.getOrderStatus(), converted.getOrderStatus());
+		assertEquals(order.getOrderDetails().get(0), converted.getOrderDetails().get(0));
+		assertNull(converted.getDeliveryDate());
+	}
+
+	@Test
+	void timestampsUseSystemTimeZone() {
+		long now = System.currentTimeMillis();
+
+		assertEquals(now, OrderMapper.toEpochMillis(LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault())));
+		assertEquals(LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault()), OrderMapper.toLocalDateTime(now));
+	}
+
+	@Test
+	void rejectsMismatchedItemTotals() {
+		Order order = newOrder();
+		order.getOrderDetails().get(0).setSubtotal(new BigDecimal("150.00"));
+
+		assertThrows(IllegalArgumentException.class, () -> OrderMapper.toCompact(order));
+
+		Order otherOrder = newOrder();
+		otherOrder.getOrderDetails().get(0).setTotalPrice(new BigDecimal("199.98"));
+
+		assertThrows(IllegalArgumentException.class, () -> OrderMapper.toCompact(otherOrder));
+	}
+
+	@Test
+	void itemsCannotBeChangedThroughGetter() {
+		CompactOrder compactOrder = OrderMapper.toCompact(newOrder());
+		compactOrder.getItems()[0] = null;
+
+		assertNotNull(compactOrder.getItems()[0]);
+	}
+
+	@Test
+	void rejectsUnknownStatus() {
+		Order order = newOrder();
+		order.setOrderStatus("LOST");
+
+		assertThrows(IllegalArgumentException.class, () -> OrderMapper.toCompact(order));
+	}
+}
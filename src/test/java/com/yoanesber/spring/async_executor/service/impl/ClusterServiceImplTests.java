@@ -0,0 +1,175 @@
+package com.yoanesber.spring.async_executor.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withException;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+class ClusterServiceImplTests {
+
+	private static final String NODE_1 = "http://localhost:8081";
+	private static final String NODE_2 = "http://localhost:8082";
+	private static final String NODE_3 = "http://localhost:8083";
+	private static final String TOKEN = "cluster-secret";
+
+	private ClusterServiceImpl newNode(String selfUrl) {
+		return new ClusterServiceImpl(RestClient.create(), true, selfUrl, "", 100, 3, TOKEN);
+	}
+
+	@Test
+	void disabledClusterOwnsEveryOrderLocally() {
+		ClusterServiceImpl clusterService = new ClusterServiceImpl(RestClient.create(), false, NODE_1, NODE_2, 100, 3, TOKEN);
+		clusterService.join(NODE_2);
+
+		assertTrue(clusterService.isLocallyOwned("ORD-1"));
+		assertTrue(clusterService.isLocallyOwned("ORD-2"));
+	}
+
+	@Test
+	void onlyTheClusterTokenIsTrusted() {
+		ClusterServiceImpl clusterService = newNode(NODE_1);
+		assertTrue(clusterService.isTrustedToken(TOKEN));
+		assertFalse(clusterService.isTrustedToken("other-secret"));
+		assertFalse(clusterService.isTrustedToken(null));
+
+		// Without a configured token, no caller is trusted, not even one sending an empty token
+		ClusterServiceImpl withoutToken = new ClusterServiceImpl(RestClient.create(), true, NODE_1, "", 100, 3, "");
+		assertFalse(withoutToken.isTrustedToken(""));
+	}
+
+	@Test
+	void nodesWithTheSameMembersAgreeOnOwner() {
+		ClusterServiceImpl node1 = newNode(NODE_1);
+		ClusterServiceImpl node2 = newNode(NODE_2 + "/");
+		node1.join(NODE_2);
+		node1.join(NODE_3);
+		node2.join(NODE_3);
+		node2.join(NODE_1);
+
+		for (int i = 0; i < 1000; i++) {
+			String orderId = "ORD-" + i;
+			assertEquals(node1.getOwner(orderId), node2.getOwner(orderId));
+		}
+	}
+
+	@Test
+	void leavingNodeOnlyMovesItsOwnOrders() {
+		ClusterServiceImpl clusterService = newNode(NODE_1);
+		clusterService.join(NODE_2);
+		clusterService.join(NODE_3);
+
+		Map<String, String> before = new HashMap<>();
+		for (int i = 0; i < 1000; i++) {
+			before.put("ORD-" + i, clusterService.getOwner("ORD-" + i));
+		}
+
+		clusterService.leave(NODE_3);
+
+		for (Map.Entry<String, String> entry : before.entrySet()) {
+			String owner = clusterService.getOwner(entry.getKey());
+			if (!entry.getValue().equals(NODE_3)) {
+				assertEquals(entry.getValue(), owner);
+			}
+			assertTrue(owner.equals(NODE_1) || owner.equals(NODE_2));
+		}
+	}
+
+	@Test
+	void heartbeatDoesNotJoinAgainAfterLeaving() {
+		RestClient.Builder builder = RestClient.builder();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+		ClusterServiceImpl clusterService = new ClusterServiceImpl(builder.build(), true, NODE_1, "", 100, 3, TOKEN);
+		clusterService.join(NODE_2);
+
+		// Only the leave announcement is expected, any other call fails the test
+		server.expect(requestTo(NODE_2 + "/api/v1/cluster/leave"))
+			.andExpect(method(HttpMethod.POST))
+			.andRespond(withSuccess());
+
+		clusterService.leaveCluster();
+		clusterService.heartbeat();
+		clusterService.joinCluster();
+
+		server.verify();
+	}
+
+	@Test
+	void removedNodeIsAddedBackOnceItAnswers() {
+		RestClient.Builder builder = RestClient.builder();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+		ClusterServiceImpl clusterService = new ClusterServiceImpl(builder.build(), true, NODE_1, "", 100, 3, TOKEN);
+		clusterService.join(NODE_2);
+
+		// NODE_2 misses 3 heartbeats during a partition, then answers the probe without knowing NODE_1
+		server.expect(ExpectedCount.times(3), requestTo(NODE_2 + "/api/v1/cluster/members"))
+			.andRespond(withException(new IOException("Connection refused")));
+		server.expect(requestTo(NODE_2 + "/api/v1/cluster/members"))
+			.andRespond(withSuccess("[\"" + NODE_2 + "\"]", MediaType.APPLICATION_JSON));
+		server.expect(requestTo(NODE_2 + "/api/v1/cluster/join"))
+			.andExpect(method(HttpMethod.POST))
+			.andRespond(withSuccess());
+
+		for (int i = 0; i < 3; i++) {
+			clusterService.heartbeat();
+		}
+		assertFalse(clusterService.getMembers().contains(NODE_2));
+
+		clusterService.heartbeat();
+
+		assertTrue(clusterService.getMembers().contains(NODE_2));
+		server.verify();
+	}
+
+	@Test
+	void unreachableOwnerIsRemovedWhenForwarding() {
+		RestClient.Builder builder = RestClient.builder();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+		ClusterServiceImpl clusterService = new ClusterServiceImpl(builder.build(), true, NODE_1, "", 100, 3, TOKEN);
+		clusterService.join(NODE_2);
+
+		server.expect(requestTo(NODE_2 + "/api/v1/order/process/ORD-1"))
+			.andRespond(withException(new ConnectException("Connection refused")));
+
+		// The order was not delivered, so the caller may process it locally
+		assertThrows(ResourceAccessException.class, () -> clusterService.forwardOrder(NODE_2, "ORD-1"));
+		assertFalse(clusterService.getMembers().contains(NODE_2));
+		server.verify();
+	}
+
+	@Test
+	void slowOwnerIsKeptWhenForwardingTimesOut() {
+		RestClient.Builder builder = RestClient.builder();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+		ClusterServiceImpl clusterService = new ClusterServiceImpl(builder.build(), true, NODE_1, "", 100, 3, TOKEN);
+		clusterService.join(NODE_2);
+
+		server.expect(requestTo(NODE_2 + "/api/v1/order/process/ORD-1"))
+			.andRespond(withException(new SocketTimeoutException("Read timed out")));
+
+		// The owner may be processing the order, so it must not be processed locally as well
+		RestClientException e = assertThrows(RestClientException.class, () -> clusterService.forwardOrder(NODE_2, "ORD-1"));
+		assertFalse(e instanceof ResourceAccessException);
+		assertTrue(clusterService.getMembers().contains(NODE_2));
+		server.verify();
+	}
+}